@@ -82,7 +82,47 @@ public abstract class Expression {
         return variables;
     }
 
-    
+    /**
+     * Counts the rows in the range [fromRow, toRow) where the expression evaluates to 1, without building a table.
+     * Rows are numbered as in {@link TruthTable}, the first variable being the most significant bit.
+     * Splitting the full range into smaller ones lets a large expression be counted in parts.
+     *
+     * <p>Not thread safe, the row values are written into the expression's shared {@link Variable} nodes.
+     * Counting ranges concurrently requires a separately parsed {@code Expression} for each range.</p>
+     * @param fromRow - First row to evaluate (inclusive)
+     * @param toRow - Last row to evaluate (exclusive)
+     * @return Amount of rows in range where the expression is true
+     */
+    public long countTrueRows(long fromRow, long toRow){
+        List<Variable> variables = this.getVariables();
+        int numberOfVariables = variables.size();
+
+        if(numberOfVariables > 62) throw new IllegalArgumentException("Too many variables, max is 62");
+
+        long totalRows = 1L << numberOfVariables;
+        if(fromRow < 0 || toRow > totalRows || fromRow > toRow) throw new IllegalArgumentException("Invalid row range");
+
+        long count = 0;
+        for(long row = fromRow; row < toRow; row++){
+
+            //Assign current rows variable values from the bits of the row number
+            for(int j = 0; j < numberOfVariables; j++){
+                variables.get(j).setCurrentValue((int) ((row >>> (numberOfVariables - 1 - j)) & 1));
+            }
+            count += this.evaluateExpression();
+        }
+        return count;
+    }
+
+    /**
+     * Counts all rows where the expression evaluates to 1
+     * @return Amount of rows where the expression is true
+     */
+    public long countTrueRows(){
+        return this.countTrueRows(0, 1L << this.getVariables().size());
+    }
+
+
     
     // ----- SUB CLASSES ---------------
 
@@ -218,9 +258,10 @@ public abstract class Expression {
     //Returns string with completed regex to tokenize operators, paranthesis and variables
     private static String getRegex(){
 
+        //Every symbol is escaped so symbols like '^' keep their literal meaning inside the character class
         StringBuilder operatorSymbols = new StringBuilder();
-        for(Operator op : Operator.allOperators()){
-            operatorSymbols.append(op.symbol);
+        for(String symbol : Operator.allSymbols()){
+            operatorSymbols.append("\\").append(symbol);
         }
         String operators = operatorSymbols.toString();
         return "(?=[" + operators + "()])|(?<=[" + operators + "()])";
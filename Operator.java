@@ -1,4 +1,5 @@
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -12,7 +13,7 @@ public enum Operator {
     NOT("!", 4, false, 1) {
         @Override
         public int eval(int a, int b) {
-            return a == 1 ? 0 : 1;
+            return a ^ 1;
         }
     },
 
@@ -20,7 +21,7 @@ public enum Operator {
     AND("*", 3, true, 2) {
         @Override
         public int eval(int a, int b) {
-            return a + b == 2 ? 1 : 0;
+            return a & b;
         }
     },
 
@@ -28,7 +29,7 @@ public enum Operator {
     XOR("⊕", 2, true, 2) {
         @Override
         public int eval(int a, int b) {
-            return a + b == 1 ? 1 : 0;
+            return a ^ b;
         }
     },
 
@@ -36,7 +37,7 @@ public enum Operator {
     OR("+", 1, true, 2) {
         @Override
         public int eval(int a, int b) {
-            return a + b >= 1 ? 1 : 0;
+            return a | b;
         }
     };
 
@@ -52,12 +53,13 @@ public enum Operator {
     /** Number of operands the operator takes (1 = unary, 2 = binary). */
     final int arity;
 
-    /** Map for quickly looking up operators by their symbol. */
+    /** Map for quickly looking up operators by their symbol, "^" is an ASCII alias for XOR. */
     private static final Map<String, Operator> BY_SYMBOL =
         Map.of(
             "!", NOT,
             "*", AND,
             "⊕", XOR,
+            "^", XOR,
             "+", OR
         );
 
@@ -72,7 +74,12 @@ public enum Operator {
 
     /** Returns all defined operators. */
     public static Collection<Operator> allOperators(){
-        return BY_SYMBOL.values();
+        return List.of(values());
+    }
+
+    /** Returns all symbols that are parsed as an operator, including aliases. */
+    public static Collection<String> allSymbols(){
+        return BY_SYMBOL.keySet();
     }
 
     /** Constructor for enum constants. */
@@ -83,6 +90,9 @@ public enum Operator {
         this.arity = arity;
     }
 
-    /** Evaluates the operator with given operand values (0 or 1). */
+    /**
+     * Evaluates the operator with given operand values.
+     * Operands must be exactly 0 or 1, NOT only flips the lowest bit.
+     */
     public abstract int eval(int a, int b);
 }
\ No newline at end of file
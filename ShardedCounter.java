@@ -0,0 +1,122 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Counts the true rows of an expression by splitting the rows into shards and evaluating every shard in its own
+ * worker JVM on the same machine.
+ *
+ * <p>The rows are split evenly, so with 2^k shards every shard has the top k variables fixed. Each worker runs
+ * {@code TruthTableGenerator -c --rows from:to -f <file>} with the same java executable and class path, which keeps
+ * every heap small. At most one worker per available processor runs at a time, a worker that exits with an error
+ * or prints no count is started again up to {@link #MAX_ATTEMPTS} times.</p>
+ *
+ * <p>With assertions enabled ({@code -ea}) the merged count is checked against a single process
+ * {@link Expression#countTrueRows()}.</p>
+ */
+class ShardedCounter {
+
+    /** How many times a shard is started before the whole count fails. */
+    static final int MAX_ATTEMPTS = 3;
+
+    private ShardedCounter(){}
+
+    /**
+     * Counts all rows where the expression evaluates to 1 using worker processes
+     * @param input - Written expression, passed to the workers through a UTF-8 file
+     * @param shards - Amount of shards to split the rows into
+     * @return Amount of rows where the expression is true
+     * @throws IllegalArgumentException if the expression is invalid or there are more shards than rows
+     * @throws IllegalStateException if a shard still fails after {@link #MAX_ATTEMPTS} attempts
+     */
+    static long countTrueRows(String input, int shards){
+        Expression expr = Expression.parseToExpression(input);
+        int numberOfVariables = expr.getVariables().size();
+        if(numberOfVariables > 62) throw new IllegalArgumentException("Too many variables, max is 62");
+
+        long totalRows = 1L << numberOfVariables;
+        if(shards < 1 || shards > totalRows) throw new IllegalArgumentException("Shards must be between 1 and " + totalRows);
+
+        Path expressionFile;
+        try{
+            expressionFile = Files.createTempFile("truth-table", ".txt");
+            Files.writeString(expressionFile, input, StandardCharsets.UTF_8);
+        }
+        catch(IOException error){
+            throw new IllegalStateException("Could not write expression file: " + error.getMessage());
+        }
+
+        ExecutorService workers = Executors.newFixedThreadPool(Math.min(shards, Runtime.getRuntime().availableProcessors()));
+        try{
+            List<Future<Long>> results = new ArrayList<>();
+            for(int shard = 0; shard < shards; shard++){
+                long fromRow = shardStart(shard, shards, totalRows);
+                long toRow = shardStart(shard + 1, shards, totalRows);
+                results.add(workers.submit(() -> runShard(expressionFile, fromRow, toRow)));
+            }
+
+            //Merges the partial counts
+            long count = 0;
+            for(Future<Long> result : results) count += result.get();
+
+            assert count == expr.countTrueRows() : "Sharded count " + count + " differs from single process count";
+            return count;
+        }
+        catch(InterruptedException error){
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shards");
+        }
+        catch(ExecutionException error){
+            if(error.getCause() instanceof IllegalStateException) throw (IllegalStateException) error.getCause();
+            throw new IllegalStateException("Shard failed: " + error.getCause());
+        }
+        finally{
+            workers.shutdownNow();
+            try{
+                Files.deleteIfExists(expressionFile);
+            }
+            catch(IOException ignored){}
+        }
+    }
+
+    //First row of a shard, the remainder rows are spread over the first shards
+    private static long shardStart(int shard, int shards, long totalRows){
+        return shard * (totalRows / shards) + Math.min(shard, totalRows % shards);
+    }
+
+    //Counts one shard in a worker JVM, starts it again if it fails
+    private static long runShard(Path expressionFile, long fromRow, long toRow) throws InterruptedException{
+        List<String> command = List.of(
+            javaCommand(), "-cp", System.getProperty("java.class.path"), "TruthTableGenerator",
+            "-c", "--rows", fromRow + ":" + toRow, "-f", expressionFile.toString()
+        );
+
+        String lastError = "";
+        for(int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++){
+            try{
+                Process worker = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+                String output = new String(worker.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+                int exitCode = worker.waitFor();
+                if(exitCode == 0) return Long.parseLong(output);
+                lastError = "exit code " + exitCode;
+            }
+            catch(IOException | NumberFormatException error){
+                lastError = error.getMessage();
+            }
+        }
+        throw new IllegalStateException("Shard " + fromRow + ":" + toRow + " failed after " + MAX_ATTEMPTS + " attempts, " + lastError);
+    }
+
+    //Java executable of the running JVM, falls back to the one in java.home
+    private static String javaCommand(){
+        return ProcessHandle.current().info().command()
+            .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+    }
+}
@@ -1,12 +1,176 @@
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Pattern;
 
+/**
+ * Entry point for the Truth Table Generator.
+ *
+ * <p>Without arguments the Swing {@link UI} is opened. With arguments it runs headless and writes to stdout,
+ * the UI class is then never loaded so no AWT/Swing classes are loaded either.</p>
+ *
+ * <pre>
+ * java TruthTableGenerator "a * (b + c)"        prints the truth table
+ * java TruthTableGenerator -c "a * (b + c)"     prints the amount of true rows
+ * java TruthTableGenerator -f expressions.txt   evaluates every non-empty line in the file
+ * java TruthTableGenerator -c --shards 8 "..."  counts in 8 worker JVMs, see {@link ShardedCounter}
+ * java TruthTableGenerator -c --rows 0:4 "..."  counts only rows [0, 4), used by the workers
+ * </pre>
+ *
+ * <p>Unknown options and mixing a file with an expression are usage errors (exit code 2). In file mode an invalid
+ * line is reported on stderr with its line number and the exit code is then 1. With {@code -c} every input line
+ * gives exactly one output line, {@code error} for an invalid line and an empty line for an empty one.</p>
+ *
+ * <p>Output is always written as UTF-8, the same encoding files are read with. Arguments are decoded by the JVM with
+ * the platform encoding, so under a non-UTF-8 locale '⊕' gets mangled, use the ASCII alias '^' instead.</p>
+ */
 class TruthTableGenerator{
+
+    private static final String USAGE =
+        "Usage: java TruthTableGenerator [-c|--count [--shards <n> | --rows <from>:<to>]] (<expression> | -f|--file <file>)";
+
+    //Valid variable names, anything else is most likely a mangled operator symbol
+    private static final Pattern IDENTIFIER = Pattern.compile("[\\p{L}_][\\p{L}\\p{N}_]*");
+
     public static void main(String[]args){
         //Expression expr = Expression.parseToExpression("a*(b+a)");
         //System.out.println("num of variables: " + expr.getVariables().size());
         //System.out.println("Variables: " + expr.getVariables().size());
         //TruthTable table = new TruthTable("a*(b+a)");
         //table.printTable();
-        new UI(500, 500);
+        if(args.length == 0){
+            new UI(500, 500);
+            return;
+        }
+
+        //Headless output is UTF-8 regardless of locale, matching how files are read
+        System.setOut(new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)), false, StandardCharsets.UTF_8));
+        System.setErr(new PrintStream(new FileOutputStream(FileDescriptor.err), true, StandardCharsets.UTF_8));
+
+        int exitCode = runHeadless(args);
+        System.out.flush();
+        System.exit(exitCode);
+    }
+
+    //Runs the command line mode, returns the exit code
+    private static int runHeadless(String[] args){
+        boolean countOnly = false;
+        String file = null;
+        StringBuilder input = new StringBuilder();
+
+        //Row range to count, toRow -1 means all rows
+        long fromRow = 0;
+        long toRow = -1;
+        int shards = 1;
+
+        for(int i = 0; i < args.length; i++){
+            if(args[i].equals("-c") || args[i].equals("--count")) countOnly = true;
+            else if(args[i].equals("-f") || args[i].equals("--file")){
+                if(i + 1 >= args.length) return usageError("Missing file after " + args[i]);
+                if(file != null) return usageError("Only one file can be given");
+                file = args[++i];
+            }
+            else if(args[i].equals("--shards")){
+                if(i + 1 >= args.length) return usageError("Missing amount after " + args[i]);
+                try{
+                    shards = Integer.parseInt(args[++i]);
+                }
+                catch(NumberFormatException error){
+                    return usageError("Invalid amount of shards " + args[i]);
+                }
+                if(shards < 1) return usageError("Amount of shards must be at least 1");
+            }
+            else if(args[i].equals("--rows")){
+                if(i + 1 >= args.length) return usageError("Missing range after " + args[i]);
+                String[] range = args[++i].split(":", -1);
+                try{
+                    if(range.length != 2) throw new NumberFormatException();
+                    fromRow = Long.parseLong(range[0]);
+                    toRow = Long.parseLong(range[1]);
+                }
+                catch(NumberFormatException error){
+                    return usageError("Invalid row range " + args[i] + ", expected <from>:<to>");
+                }
+            }
+            else if(args[i].startsWith("-")) return usageError("Unknown option " + args[i]);
+            else input.append(args[i]).append(" ");
+        }
+
+        if(file != null && !input.isEmpty()) return usageError("Give either an expression or a file, not both");
+        if(file == null && input.isEmpty()) return usageError("Missing expression");
+        if((shards > 1 || toRow >= 0) && !countOnly) return usageError("--shards and --rows can only be used with -c");
+        if(shards > 1 && toRow >= 0) return usageError("Give either --shards or --rows, not both");
+
+        if(file == null){
+            //'?' or the replacement character means the argument could not be decoded in the platform encoding
+            if(input.indexOf("?") >= 0 || input.indexOf("\uFFFD") >= 0){
+                System.err.println("Expression contains undecodable characters, use '^' instead of '⊕' or a UTF-8 locale");
+                return 1;
+            }
+            try{
+                evaluate(input.toString(), countOnly, fromRow, toRow, shards);
+            }
+            catch(IllegalArgumentException | IllegalStateException error){
+                System.err.println(error.getMessage());
+                return 1;
+            }
+            return 0;
+        }
+
+        List<String> lines;
+        try{
+            lines = Files.readAllLines(Path.of(file));
+        }
+        catch(IOException error){
+            System.err.println("Could not read file: " + error.getMessage());
+            return 2;
+        }
+
+        //Evaluates every line, exit code is 1 if any line failed. When counting, stdout keeps one line per input line
+        int exitCode = 0;
+        for(int i = 0; i < lines.size(); i++){
+            String line = lines.get(i);
+            if(line.trim().isEmpty()){
+                if(countOnly) System.out.println();
+                continue;
+            }
+            try{
+                evaluate(line, countOnly, fromRow, toRow, shards);
+            }
+            catch(IllegalArgumentException | IllegalStateException error){
+                System.err.println("Line " + (i + 1) + " \"" + line.trim() + "\": " + error.getMessage());
+                if(countOnly) System.out.println("error");
+                exitCode = 1;
+            }
+        }
+        return exitCode;
+    }
+
+    //Prints the problem and usage line, returns the usage exit code
+    private static int usageError(String message){
+        System.err.println(message);
+        System.err.println(USAGE);
+        return 2;
+    }
+
+    //Prints either the truth table or the amount of true rows for a single expression
+    private static void evaluate(String input, boolean countOnly, long fromRow, long toRow, int shards){
+        Expression expr = Expression.parseToExpression(input);
+        for(Expression.Variable var : expr.getVariables()){
+            if(!IDENTIFIER.matcher(var.name).matches())
+                throw new IllegalArgumentException("Invalid variable name \"" + var.name + "\"");
+        }
+
+        if(!countOnly) new TruthTable(input).printTable();
+        else if(shards > 1) System.out.println(ShardedCounter.countTrueRows(input, shards));
+        else if(toRow >= 0) System.out.println(expr.countTrueRows(fromRow, toRow));
+        else System.out.println(expr.countTrueRows());
     }
 }
 